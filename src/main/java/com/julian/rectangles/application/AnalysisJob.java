@@ -0,0 +1,144 @@
+package com.julian.rectangles.application;
+
+import com.julian.rectangles.domain.model.JobStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class AnalysisJob {
+
+    private final String id;
+    private final long totalItems;
+    private final Path resultFile;
+    private final Instant submittedAt;
+    private final AtomicLong processedItems = new AtomicLong();
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+    private volatile Future<?> future;
+    // Only written by the worker, and only read once the job is COMPLETED
+    @Getter(AccessLevel.NONE)
+    private final List<Long> lineOffsets = new ArrayList<>();
+
+    public AnalysisJob(String id, long totalItems, Path resultFile) {
+        this.id = id;
+        this.totalItems = totalItems;
+        this.resultFile = resultFile;
+        this.submittedAt = Instant.now();
+    }
+
+    /**
+     * Keeps the task running the job, cancelling it right away if the job was cancelled before it was handed over
+     *
+     * @param future the task of the job
+     */
+    synchronized void setFuture(Future<?> future) {
+        this.future = future;
+        if (isCancelled()) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Records the byte offset of a line of the result file
+     *
+     * @param offset position of the line in the file
+     */
+    void addLineOffset(long offset) {
+        this.lineOffsets.add(offset);
+    }
+
+    /**
+     * Gets the byte offset of a recorded line of the result file
+     *
+     * @param checkpoint position of the offset among the recorded ones
+     * @return the position of the line in the file
+     */
+    long getLineOffset(int checkpoint) {
+        return this.lineOffsets.get(checkpoint);
+    }
+
+    /**
+     * Counts a processed item, unless the job already finished so the count stays final once cancelled
+     */
+    synchronized void incrementProcessedItems() {
+        if (this.status == JobStatus.RUNNING) {
+            this.processedItems.incrementAndGet();
+        }
+    }
+
+    /**
+     * Moves a queued job to running
+     *
+     * @return  {@code true} if the job can start;
+     *          {@code false} if it was cancelled while queued.
+     */
+    synchronized boolean markRunning() {
+        if (this.status != JobStatus.QUEUED) {
+            return false;
+        }
+        this.status = JobStatus.RUNNING;
+        this.startedAt = Instant.now();
+        return true;
+    }
+
+    /**
+     * Completes the job unless it already finished, e.g. because it was cancelled meanwhile
+     *
+     * @return the final {@code JobStatus} of the job
+     */
+    synchronized JobStatus markCompleted() {
+        finish(JobStatus.COMPLETED, null);
+        return this.status;
+    }
+
+    /**
+     * Fails the job unless it already finished, e.g. because it was cancelled meanwhile
+     *
+     * @param errorMessage the reason of the failure
+     * @return the final {@code JobStatus} of the job
+     */
+    synchronized JobStatus markFailed(String errorMessage) {
+        finish(JobStatus.FAILED, errorMessage);
+        return this.status;
+    }
+
+    /**
+     * Cancels a queued or running job and interrupts its worker
+     *
+     * @return  {@code true} if the job was cancelled;
+     *          {@code false} if it had already finished.
+     */
+    synchronized boolean cancel() {
+        if (!finish(JobStatus.CANCELLED, null)) {
+            return false;
+        }
+        if (this.future != null) {
+            this.future.cancel(true);
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return this.status == JobStatus.CANCELLED;
+    }
+
+    private boolean finish(JobStatus finalStatus, String errorMessage) {
+        if (this.status.isFinished()) {
+            return false;
+        }
+        this.status = finalStatus;
+        this.errorMessage = errorMessage;
+        this.finishedAt = Instant.now();
+        return true;
+    }
+
+}
@@ -0,0 +1,434 @@
+package com.julian.rectangles.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.julian.rectangles.domain.dto.AnalysisJobRequest;
+import com.julian.rectangles.domain.dto.Coordinates;
+import com.julian.rectangles.domain.dto.RectangleCoordinates;
+import com.julian.rectangles.domain.model.JobStatus;
+import com.julian.rectangles.infrastructure.profiling.AnalysisJobEvent;
+import com.julian.rectangles.infrastructure.response.JobProgressResponse;
+import com.julian.rectangles.infrastructure.response.JobResultItem;
+import com.julian.rectangles.infrastructure.response.JobResultPageResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Service
+public class AnalysisJobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisJobService.class);
+    private static final String JOB_NOT_FOUND = "Job %s does not exist.";
+    private static final String JOB_NOT_COMPLETED = "Job %s is %s, results are only available once it is COMPLETED.";
+    private static final String JOB_QUEUE_FULL = "Job queue is full (%s jobs waiting). Try again later.";
+    private static final String JOB_TOO_LARGE = "Job has %s items, at most %s are allowed.";
+    private static final String JOB_INTERRUPTED = "Job was interrupted before finishing.";
+    private static final String RESULT_FILE_EXTENSION = ".ndjson";
+    private static final int LINE_OFFSET_INTERVAL = 1024;
+
+    private final RectangleService rectangleService;
+    private final ObjectMapper objectMapper;
+    private final Path resultsDirectory;
+    private final int queueCapacity;
+    private final long maxItems;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(RectangleService rectangleService, ObjectMapper objectMapper,
+                              @Value("${rectangles.jobs.pool-size}") int poolSize,
+                              @Value("${rectangles.jobs.queue-capacity}") int queueCapacity,
+                              @Value("${rectangles.jobs.results-dir}") String resultsDirectory,
+                              @Value("${rectangles.jobs.retention}") Duration retention,
+                              @Value("${rectangles.jobs.max-items}") long maxItems) throws IOException {
+        this.rectangleService = rectangleService;
+        this.objectMapper = objectMapper;
+        this.resultsDirectory = Files.createDirectories(Path.of(resultsDirectory));
+        this.queueCapacity = queueCapacity;
+        this.retention = retention;
+        this.maxItems = maxItems;
+
+        deleteStaleResultFiles();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "rectangle-job-" + threadCount.incrementAndGet()));
+    }
+
+    /**
+     * Queues a new analysis job on the worker pool. Results are written to disk as one JSON line per item, holding
+     * the index of the item, its input pair or the indices of its rectangles in the set, and its result.
+     *
+     * @param request explicit rectangle pairs and/or a set of rectangles to analyze pairwise
+     * @return the queued {@code AnalysisJob}
+     * @throws NumberFormatException if a coordinate is not numeric
+     * @throws InvalidRectangleException if the points of a rectangle are not in correct position
+     * @throws JobTooLargeException if the job has more items than {@code rectangles.jobs.max-items}
+     * @throws JobRejectedException if the job queue is full
+     */
+    public AnalysisJob submitJob(AnalysisJobRequest request) {
+        validateRequest(request);
+
+        String jobId = UUID.randomUUID().toString();
+        AnalysisJob job = new AnalysisJob(jobId, countItems(request), this.resultsDirectory.resolve(jobId + RESULT_FILE_EXTENSION));
+        this.jobs.put(jobId, job);
+
+        try {
+            job.setFuture(this.executor.submit(() -> runJob(job, request)));
+        } catch (RejectedExecutionException exception) {
+            this.jobs.remove(jobId);
+            throw new JobRejectedException(String.format(JOB_QUEUE_FULL, this.queueCapacity));
+        }
+        if (job.isCancelled()) {
+            this.executor.purge();
+        }
+
+        LOGGER.info("Queued job {} with {} items", jobId, job.getTotalItems());
+        return job;
+    }
+
+    /**
+     * Calculates the progress of a job
+     *
+     * @param jobId id of the job
+     * @return the {@code JobProgressResponse} with processed items, throughput and estimated time left
+     * @throws JobNotFoundException if the job does not exist
+     */
+    public JobProgressResponse getJobProgress(String jobId) {
+        return toProgressResponse(getJob(jobId));
+    }
+
+    /**
+     * Calculates the progress of a job already at hand, such as one just submitted that may be deleted meanwhile
+     *
+     * @param job the job
+     * @return the {@code JobProgressResponse} with processed items, throughput and estimated time left
+     */
+    public JobProgressResponse getJobProgress(AnalysisJob job) {
+        return toProgressResponse(job);
+    }
+
+    /**
+     * Cancels a queued or running job. A job that already finished is discarded together with its results.
+     *
+     * @param jobId id of the job
+     * @return the {@code JobProgressResponse} of the job after cancelling it
+     * @throws JobNotFoundException if the job does not exist
+     */
+    public JobProgressResponse cancelJob(String jobId) {
+        AnalysisJob job = getJob(jobId);
+
+        if (job.cancel()) {
+            // A job cancelled while queued would otherwise keep its slot in the queue until a worker picks it up
+            this.executor.purge();
+            LOGGER.info("Cancelled job {} after {} items", jobId, job.getProcessedItems().get());
+        } else {
+            this.jobs.remove(jobId);
+            deleteResultFile(job);
+            LOGGER.info("Discarded job {}", jobId);
+        }
+
+        return toProgressResponse(job);
+    }
+
+    /**
+     * Reads a page of results of a completed job from disk, starting from the closest line offset recorded while
+     * writing them so earlier pages are not read again
+     *
+     * @param jobId id of the job
+     * @param page zero based page number
+     * @param size number of items per page
+     * @return the {@code JobResultPageResponse} with the requested items
+     * @throws JobNotFoundException if the job does not exist
+     * @throws JobNotCompletedException if the job is not completed
+     */
+    public JobResultPageResponse getResultPage(String jobId, int page, int size) {
+        AnalysisJob job = getCompletedJob(jobId);
+
+        long firstLine = (long) page * size;
+        List<JsonNode> items = List.of();
+        if (firstLine < job.getTotalItems()) {
+            int checkpoint = (int) (firstLine / LINE_OFFSET_INTERVAL);
+            try (SeekableByteChannel channel = Files.newByteChannel(job.getResultFile());
+                 BufferedReader reader = new BufferedReader(Channels.newReader(
+                         channel.position(job.getLineOffset(checkpoint)), StandardCharsets.UTF_8))) {
+                items = reader.lines()
+                        .skip(firstLine - (long) checkpoint * LINE_OFFSET_INTERVAL)
+                        .limit(size)
+                        .map(this::readLine)
+                        .toList();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        JobResultPageResponse pageResponse = new JobResultPageResponse();
+        pageResponse.setJobId(jobId);
+        pageResponse.setPage(page);
+        pageResponse.setSize(size);
+        pageResponse.setTotalItems(job.getTotalItems());
+        pageResponse.setItems(items);
+
+        return pageResponse;
+    }
+
+    /**
+     * Gets the file holding all results of a completed job, one JSON line per item
+     *
+     * @param jobId id of the job
+     * @return the {@code Path} of the result file
+     * @throws JobNotFoundException if the job does not exist
+     * @throws JobNotCompletedException if the job is not completed
+     */
+    public Path getResultFile(String jobId) {
+        return getCompletedJob(jobId).getResultFile();
+    }
+
+    /**
+     * Evicts jobs that finished longer than the retention ago, together with their results
+     */
+    @Scheduled(fixedDelayString = "${rectangles.jobs.sweep-interval}")
+    void evictExpiredJobs() {
+        Instant expiredBefore = Instant.now().minus(this.retention);
+
+        for (AnalysisJob job : this.jobs.values()) {
+            Instant finishedAt = job.getFinishedAt();
+            if (finishedAt != null && !finishedAt.isAfter(expiredBefore) && this.jobs.remove(job.getId(), job)) {
+                deleteResultFile(job);
+                LOGGER.info("Evicted job {} finished at {}", job.getId(), finishedAt);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private void runJob(AnalysisJob job, AnalysisJobRequest request) {
+        if (!job.markRunning()) {
+            return;
+        }
+
+        LOGGER.info("Started job {}", job.getId());
+        AnalysisJobEvent event = new AnalysisJobEvent(job.getId(), job.getTotalItems());
+        event.begin();
+
+        // Errors are caught too, otherwise the job would stay RUNNING and the task would swallow them silently
+        Throwable failure = null;
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(job.getResultFile()))) {
+            Iterator<JobItem> items = streamItems(request).iterator();
+            long index = 0;
+            long offset = 0;
+            while (items.hasNext() && !job.isCancelled() && !Thread.currentThread().isInterrupted()) {
+                JobItem item = items.next();
+
+                JobResultItem resultItem = new JobResultItem();
+                resultItem.setIndex(index);
+                resultItem.setPair(item.pair());
+                resultItem.setFirst(item.first());
+                resultItem.setSecond(item.second());
+                resultItem.setResult(this.rectangleService.getBulkRectangleResult(item.coordinates()));
+
+                if (index % LINE_OFFSET_INTERVAL == 0) {
+                    job.addLineOffset(offset);
+                }
+                byte[] line = this.objectMapper.writeValueAsBytes(resultItem);
+                output.write(line);
+                output.write('\n');
+                offset += line.length + 1;
+                index++;
+                job.incrementProcessedItems();
+            }
+        } catch (Throwable throwable) {
+            failure = throwable;
+        }
+
+        // A cancellation may land at any point until here, so the final state is decided by a single transition
+        JobStatus finalStatus;
+        if (failure != null) {
+            finalStatus = job.markFailed(Objects.requireNonNullElse(failure.getMessage(), failure.getClass().getName()));
+        } else if (Thread.currentThread().isInterrupted()) {
+            finalStatus = job.markFailed(JOB_INTERRUPTED);
+        } else {
+            finalStatus = job.markCompleted();
+        }
+        event.commit(finalStatus, job.getProcessedItems().get());
+
+        if (finalStatus == JobStatus.COMPLETED) {
+            LOGGER.info("Completed job {} with {} items", job.getId(), job.getProcessedItems().get());
+        } else {
+            if (finalStatus == JobStatus.FAILED) {
+                LOGGER.error("Job {} failed: {}", job.getId(), job.getErrorMessage(), failure);
+            }
+            deleteResultFile(job);
+        }
+    }
+
+    /**
+     * Validates the size of the job and every rectangle of the request up front, so bad input is rejected before the
+     * job is queued instead of failing it halfway through
+     *
+     * @param request the job request
+     */
+    private void validateRequest(AnalysisJobRequest request) {
+        long totalItems = countItems(request);
+        if (totalItems > this.maxItems) {
+            throw new JobTooLargeException(String.format(JOB_TOO_LARGE, totalItems, this.maxItems));
+        }
+        if (request.getPairs() != null) {
+            for (Coordinates pair : request.getPairs()) {
+                this.rectangleService.validateRectangleCoordinates(pair.getR1x1(), pair.getR1x2(), pair.getR1y1(),
+                        pair.getR1y2());
+                this.rectangleService.validateRectangleCoordinates(pair.getR2x1(), pair.getR2x2(), pair.getR2y1(),
+                        pair.getR2y2());
+            }
+        }
+        if (request.getRectangles() != null) {
+            for (RectangleCoordinates rectangle : request.getRectangles()) {
+                this.rectangleService.validateRectangleCoordinates(rectangle.getX1(), rectangle.getX2(),
+                        rectangle.getY1(), rectangle.getY2());
+            }
+        }
+    }
+
+    private AnalysisJob getJob(String jobId) {
+        AnalysisJob job = this.jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException(String.format(JOB_NOT_FOUND, jobId));
+        }
+        return job;
+    }
+
+    private AnalysisJob getCompletedJob(String jobId) {
+        AnalysisJob job = getJob(jobId);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new JobNotCompletedException(String.format(JOB_NOT_COMPLETED, jobId, job.getStatus()));
+        }
+        return job;
+    }
+
+    private JobProgressResponse toProgressResponse(AnalysisJob job) {
+        long processedItems = job.getProcessedItems().get();
+        Instant startedAt = job.getStartedAt();
+        Instant finishedAt = job.getFinishedAt();
+
+        JobProgressResponse progressResponse = new JobProgressResponse();
+        progressResponse.setJobId(job.getId());
+        progressResponse.setStatus(job.getStatus());
+        progressResponse.setTotalItems(job.getTotalItems());
+        progressResponse.setProcessedItems(processedItems);
+        progressResponse.setSubmittedAt(job.getSubmittedAt());
+        progressResponse.setStartedAt(startedAt);
+        progressResponse.setFinishedAt(finishedAt);
+        progressResponse.setError(job.getErrorMessage());
+
+        if (startedAt != null) {
+            Instant until = finishedAt != null ? finishedAt : Instant.now();
+            double elapsedSeconds = Duration.between(startedAt, until).toMillis() / 1000.0;
+            double throughput = elapsedSeconds > 0 ? processedItems / elapsedSeconds : 0;
+            progressResponse.setThroughputPerSecond(throughput);
+
+            if (job.getStatus() == JobStatus.RUNNING && throughput > 0) {
+                progressResponse.setEtaSeconds(Math.round((job.getTotalItems() - processedItems) / throughput));
+            }
+        }
+
+        return progressResponse;
+    }
+
+    private JsonNode readLine(String line) {
+        try {
+            return this.objectMapper.readTree(line);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void deleteResultFile(AnalysisJob job) {
+        try {
+            Files.deleteIfExists(job.getResultFile());
+        } catch (IOException exception) {
+            LOGGER.warn("Could not delete results of job {}", job.getId(), exception);
+        }
+    }
+
+    /**
+     * Deletes result files left behind by a previous run, since the jobs they belonged to only lived in memory
+     */
+    private void deleteStaleResultFiles() throws IOException {
+        try (Stream<Path> files = Files.list(this.resultsDirectory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(RESULT_FILE_EXTENSION)).toList()) {
+                Files.deleteIfExists(file);
+                LOGGER.info("Deleted stale job results {}", file);
+            }
+        }
+    }
+
+    private static long countItems(AnalysisJobRequest request) {
+        long pairs = request.getPairs() != null ? request.getPairs().size() : 0;
+        long rectangles = request.getRectangles() != null ? request.getRectangles().size() : 0;
+        return pairs + rectangles * (rectangles - 1) / 2;
+    }
+
+    /**
+     * Lazily builds the items of a job: the explicit pairs followed by every unordered pair of the rectangle set
+     *
+     * @param request the job request
+     * @return the {@code Stream} of items to analyze
+     */
+    private static Stream<JobItem> streamItems(AnalysisJobRequest request) {
+        Stream<JobItem> pairs = request.getPairs() != null
+                ? request.getPairs().stream().map(pair -> new JobItem(pair, pair, null, null)) : Stream.empty();
+
+        List<RectangleCoordinates> rectangles = request.getRectangles() != null ? request.getRectangles() : List.of();
+        Stream<JobItem> rectanglePairs = IntStream.range(0, rectangles.size()).boxed()
+                .flatMap(i -> IntStream.range(i + 1, rectangles.size())
+                        .mapToObj(j -> new JobItem(toCoordinates(rectangles.get(i), rectangles.get(j)), null, i, j)));
+
+        return Stream.concat(pairs, rectanglePairs);
+    }
+
+    private static Coordinates toCoordinates(RectangleCoordinates first, RectangleCoordinates second) {
+        return new Coordinates(first.getX1(), first.getX2(), first.getY1(), first.getY2(),
+                second.getX1(), second.getX2(), second.getY1(), second.getY2());
+    }
+
+    /**
+     * A single item of a job: the coordinates to analyze and where they come from in the request
+     */
+    private record JobItem(Coordinates coordinates, Coordinates pair, Integer first, Integer second) {
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.julian.rectangles.application;
+
+public class JobNotCompletedException extends RuntimeException {
+
+    public JobNotCompletedException(String errorMessage) {
+        super(errorMessage);
+    }
+
+}
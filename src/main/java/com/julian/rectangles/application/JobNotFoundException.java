@@ -0,0 +1,9 @@
+package com.julian.rectangles.application;
+
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String errorMessage) {
+        super(errorMessage);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.julian.rectangles.application;
+
+public class JobRejectedException extends RuntimeException {
+
+    public JobRejectedException(String errorMessage) {
+        super(errorMessage);
+    }
+
+}
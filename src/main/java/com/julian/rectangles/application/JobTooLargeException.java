@@ -0,0 +1,9 @@
+package com.julian.rectangles.application;
+
+public class JobTooLargeException extends RuntimeException {
+
+    public JobTooLargeException(String errorMessage) {
+        super(errorMessage);
+    }
+
+}
@@ -1,16 +1,15 @@
 package com.julian.rectangles.application;
 
 import com.julian.rectangles.domain.dto.Coordinates;
-import com.julian.rectangles.domain.model.AdjacencyType;
 import com.julian.rectangles.domain.model.Point;
 import com.julian.rectangles.domain.model.Rectangle;
+import com.julian.rectangles.domain.model.RectangleRelation;
+import com.julian.rectangles.infrastructure.profiling.RectangleResultEvent;
 import com.julian.rectangles.infrastructure.response.RectangleResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 import static com.julian.rectangles.domain.model.Rectangle.isRectangleValid;
 
 @Service
@@ -35,44 +34,74 @@ public class RectangleService {
         LOGGER.info("Calculating adjacency, intersection and containment between: {} and {}", firstRectangle,
                 secondRectangle);
 
+        RectangleResultEvent event = new RectangleResultEvent();
+        event.begin();
+        RectangleResponse rectangleResponse = calculateRectangleResult(firstRectangle, secondRectangle);
+        event.commit(rectangleResponse);
+
+        return rectangleResponse;
+    }
+
+    /**
+     * Calculates the adjacency, intersection and containment between two rectangles without logging or recording the
+     * pair. Meant for bulk analyses, which log and record once per job instead of once per pair.
+     *
+     * @param coordinates bottom left and upper right points of two rectangles
+     * @return the {@code RectangleResponse} with adjacency, intersection and containment data
+     */
+    public RectangleResponse getBulkRectangleResult(Coordinates coordinates) {
+        Rectangle firstRectangle = buildRectangleFromCoordinates(coordinates.getR1x1(), coordinates.getR1x2(),
+                coordinates.getR1y1(), coordinates.getR1y2());
+        Rectangle secondRectangle = buildRectangleFromCoordinates(coordinates.getR2x1(), coordinates.getR2x2(),
+                coordinates.getR2y1(), coordinates.getR2y2());
+
+        return calculateRectangleResult(firstRectangle, secondRectangle);
+    }
+
+    /**
+     * Validates the diagonal coordinates of a rectangle without calculating anything
+     *
+     * @param x1 bottom left x
+     * @param x2 upper right x
+     * @param y1 bottom left y
+     * @param y2 upper right y
+     * @throws NumberFormatException if a coordinate is not numeric
+     * @throws InvalidRectangleException if the points are not in correct position
+     */
+    public void validateRectangleCoordinates(String x1, String x2, String y1, String y2) {
+        buildRectangleFromCoordinates(x1, x2, y1, y2);
+    }
+
+    private RectangleResponse calculateRectangleResult(Rectangle firstRectangle, Rectangle secondRectangle) {
+        RectangleRelation relation = firstRectangle.getRelationWith(secondRectangle);
+
         RectangleResponse rectangleResponse = new RectangleResponse();
-        getAdjacency(rectangleResponse, firstRectangle, secondRectangle);
-        getContainment(rectangleResponse, firstRectangle, secondRectangle);
-        getIntersection(rectangleResponse, firstRectangle, secondRectangle);
+        getAdjacency(rectangleResponse, relation);
+        getContainment(rectangleResponse, relation, firstRectangle, secondRectangle);
+        getIntersection(rectangleResponse, relation, firstRectangle, secondRectangle);
 
         return rectangleResponse;
     }
 
-    private void getAdjacency(RectangleResponse rectangleResponse, Rectangle firstRectangle, Rectangle secondRectangle) {
-        rectangleResponse.setAdjacent(firstRectangle.isAdjacentTo(secondRectangle));
-
-        if (rectangleResponse.isAdjacent()) {
-            if (firstRectangle.hasProperAdjacencyWith(secondRectangle)) {
-                rectangleResponse.setAdjacencyType(AdjacencyType.PROPER);
-            } else if (firstRectangle.hasPartialAdjacencyWith(secondRectangle)) {
-                rectangleResponse.setAdjacencyType(AdjacencyType.PARTIAL);
-            } else if (firstRectangle.hasSublineAdjacencyWith(secondRectangle)) {
-                rectangleResponse.setAdjacencyType(AdjacencyType.SUBLINE);
-            }
-        }
+    private void getAdjacency(RectangleResponse rectangleResponse, RectangleRelation relation) {
+        rectangleResponse.setAdjacent(relation.isAdjacent());
+        rectangleResponse.setAdjacencyType(relation.getAdjacencyType());
     }
 
-    private void getContainment(RectangleResponse rectangleResponse, Rectangle firstRectangle,
-                                Rectangle secondRectangle) {
-        if (firstRectangle.containsRectangle(secondRectangle)) {
+    private void getContainment(RectangleResponse rectangleResponse, RectangleRelation relation,
+                                Rectangle firstRectangle, Rectangle secondRectangle) {
+        if (relation.isContained()) {
             rectangleResponse.setContained(true);
             rectangleResponse.setContainerRectangle(firstRectangle);
             rectangleResponse.setContaineeRectangle(secondRectangle);
         }
     }
 
-    private void getIntersection(RectangleResponse rectangleResponse, Rectangle firstRectangle,
-                                 Rectangle secondRectangle) {
-        Optional<Rectangle> rectangleIntersection = firstRectangle.getIntersection(secondRectangle);
-
-        if (rectangleIntersection.isPresent()) {
+    private void getIntersection(RectangleResponse rectangleResponse, RectangleRelation relation,
+                                 Rectangle firstRectangle, Rectangle secondRectangle) {
+        if (relation.isIntersected()) {
             rectangleResponse.setIntersected(true);
-            rectangleResponse.setIntersection(rectangleIntersection.get());
+            rectangleResponse.setIntersection(firstRectangle.getIntersection(secondRectangle).orElseThrow());
         }
     }
 
@@ -0,0 +1,29 @@
+package com.julian.rectangles.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class AnalysisJobRequest {
+
+    /**
+     * Explicit pairs of rectangles, each one analyzed as a single item
+     */
+    private List<@Valid Coordinates> pairs;
+
+    /**
+     * Set of rectangles, every unordered pair of them is analyzed as a single item
+     */
+    private List<@Valid RectangleCoordinates> rectangles;
+
+    @AssertTrue(message = "Either pairs or rectangles of the job are required.")
+    public boolean isInputProvided() {
+        return (pairs != null && !pairs.isEmpty()) || (rectangles != null && !rectangles.isEmpty());
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.julian.rectangles.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RectangleCoordinates {
+
+    @NotBlank(message = "Bottom left X of rectangle is required.")
+    private String x1;
+
+    @NotBlank(message = "Upper right X of rectangle is required.")
+    private String x2;
+
+    @NotBlank(message = "Bottom left Y of rectangle is required.")
+    private String y1;
+
+    @NotBlank(message = "Upper right Y of rectangle is required.")
+    private String y2;
+
+}
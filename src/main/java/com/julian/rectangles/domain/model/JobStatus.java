@@ -0,0 +1,15 @@
+package com.julian.rectangles.domain.model;
+
+public enum JobStatus {
+
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+
+}
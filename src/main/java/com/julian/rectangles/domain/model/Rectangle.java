@@ -13,6 +13,17 @@ public class Rectangle {
     private Point bottomLeft;
     private Point upperRight;
 
+    /**
+     * Classifies adjacency, containment and intersection between two rectangles in a single pass. Gives the same
+     * results as the separate relation methods of this class.
+     *
+     * @param anotherRectangle the other rectangle
+     * @return the {@code RectangleRelation} of this rectangle with the other rectangle
+     */
+    public RectangleRelation getRelationWith(Rectangle anotherRectangle) {
+        return RelationClassifier.classify(this, anotherRectangle);
+    }
+
     /**
      * Validates adjacency between two rectangles.
      *
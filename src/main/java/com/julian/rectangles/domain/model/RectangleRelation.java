@@ -0,0 +1,22 @@
+package com.julian.rectangles.domain.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class RectangleRelation {
+
+    private final boolean adjacent;
+    private final AdjacencyType adjacencyType;
+    private final boolean contained;
+    private final boolean intersected;
+
+    @Override
+    public String toString() {
+        return "RectangleRelation: (adjacent=" + this.adjacent + ", adjacencyType=" + this.adjacencyType
+                + ", contained=" + this.contained + ", intersected=" + this.intersected + ")";
+    }
+
+}
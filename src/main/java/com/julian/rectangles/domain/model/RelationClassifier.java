@@ -0,0 +1,151 @@
+package com.julian.rectangles.domain.model;
+
+/**
+ * Classifies the relation between two rectangles in a single pass. The eight coordinates are compared once, the
+ * outcomes of each axis are packed into a bitmask, and adjacency, containment and intersection are read from lookup
+ * tables precomputed with the same rules as the relation methods of {@code Rectangle}.
+ */
+final class RelationClassifier {
+
+    // Outcome of comparing a coordinate of this rectangle with one of the other rectangle. Unordered means one of them
+    // is NaN, which like in the relation methods is never equal, lower or greater.
+    private static final int EQUAL = 0;
+    private static final int LOWER = 1;
+    private static final int GREATER = 2;
+    private static final int UNORDERED = LOWER | GREATER;
+
+    // Position of each comparison in the bitmask of an axis
+    private static final int LOW_VS_LOW = 0;
+    private static final int LOW_VS_HIGH = 2;
+    private static final int HIGH_VS_LOW = 4;
+    private static final int HIGH_VS_HIGH = 6;
+    private static final int AXIS_MASKS = 1 << 8;
+
+    // Features of a single axis
+    private static final int TOUCHING = 1;
+    private static final int ALIGNED = 1 << 1;
+    private static final int OVERLAPPING = 1 << 2;
+    private static final int SPANNING = 1 << 3;
+    private static final int SEPARATED = 1 << 4;
+    private static final int FEATURE_BITS = 5;
+
+    private static final byte[] AXIS_FEATURES = new byte[AXIS_MASKS];
+    private static final RectangleRelation[] RELATIONS = new RectangleRelation[1 << (2 * FEATURE_BITS)];
+
+    static {
+        for (int mask = 0; mask < AXIS_MASKS; mask++) {
+            AXIS_FEATURES[mask] = (byte) axisFeatures(mask);
+        }
+
+        RectangleRelation[] distinctRelations = new RectangleRelation[32];
+        for (int index = 0; index < RELATIONS.length; index++) {
+            RectangleRelation relation = relation(index & ((1 << FEATURE_BITS) - 1), index >>> FEATURE_BITS);
+            int key = (relation.isAdjacent() ? 1 : 0) | (relation.isContained() ? 2 : 0)
+                    | (relation.isIntersected() ? 4 : 0)
+                    | (relation.getAdjacencyType() != null ? relation.getAdjacencyType().ordinal() + 1 : 0) << 3;
+            if (distinctRelations[key] == null) {
+                distinctRelations[key] = relation;
+            }
+            RELATIONS[index] = distinctRelations[key];
+        }
+    }
+
+    private RelationClassifier() {
+    }
+
+    /**
+     * Classifies the relation between two rectangles
+     *
+     * @param rectangle the rectangle the relation is evaluated from
+     * @param anotherRectangle the other rectangle
+     * @return the shared {@code RectangleRelation} with adjacency, containment and intersection data
+     */
+    static RectangleRelation classify(Rectangle rectangle, Rectangle anotherRectangle) {
+        Point bottomLeft = rectangle.getBottomLeft();
+        Point upperRight = rectangle.getUpperRight();
+        Point anotherBottomLeft = anotherRectangle.getBottomLeft();
+        Point anotherUpperRight = anotherRectangle.getUpperRight();
+
+        int xMask = axisMask(bottomLeft.getX(), upperRight.getX(), anotherBottomLeft.getX(), anotherUpperRight.getX());
+        int yMask = axisMask(bottomLeft.getY(), upperRight.getY(), anotherBottomLeft.getY(), anotherUpperRight.getY());
+
+        return RELATIONS[AXIS_FEATURES[xMask] | AXIS_FEATURES[yMask] << FEATURE_BITS];
+    }
+
+    private static int axisMask(float low, float high, float anotherLow, float anotherHigh) {
+        return compare(low, anotherLow) << LOW_VS_LOW
+                | compare(low, anotherHigh) << LOW_VS_HIGH
+                | compare(high, anotherLow) << HIGH_VS_LOW
+                | compare(high, anotherHigh) << HIGH_VS_HIGH;
+    }
+
+    private static int compare(float value, float anotherValue) {
+        if (value < anotherValue) {
+            return LOWER;
+        }
+        if (value > anotherValue) {
+            return GREATER;
+        }
+        return value == anotherValue ? EQUAL : UNORDERED;
+    }
+
+    /**
+     * Derives the features of one axis from its comparison outcomes, following the per axis checks of
+     * {@code Rectangle}: shared edge, same bounds, partial overlap, spanning the other interval and no overlap.
+     *
+     * @param mask packed comparison outcomes of the axis
+     * @return the feature bits of the axis
+     */
+    private static int axisFeatures(int mask) {
+        int lowVsLow = (mask >>> LOW_VS_LOW) & 3;
+        int lowVsHigh = (mask >>> LOW_VS_HIGH) & 3;
+        int highVsLow = (mask >>> HIGH_VS_LOW) & 3;
+        int highVsHigh = (mask >>> HIGH_VS_HIGH) & 3;
+
+        boolean touching = lowVsHigh == EQUAL || highVsLow == EQUAL;
+        boolean aligned = highVsHigh == EQUAL && lowVsLow == EQUAL;
+        boolean overlapping = (highVsHigh == GREATER && lowVsHigh == LOWER && lowVsLow == GREATER)
+                || (highVsLow == GREATER && lowVsLow == LOWER && highVsHigh == LOWER);
+        boolean spanning = highVsHigh == GREATER && lowVsLow == LOWER;
+        boolean separated = highVsLow == LOWER || highVsLow == EQUAL || lowVsHigh == GREATER || lowVsHigh == EQUAL;
+
+        return (touching ? TOUCHING : 0) | (aligned ? ALIGNED : 0) | (overlapping ? OVERLAPPING : 0)
+                | (spanning ? SPANNING : 0) | (separated ? SEPARATED : 0);
+    }
+
+    /**
+     * Combines the features of both axes the same way {@code RectangleService} combines the relation methods of
+     * {@code Rectangle}. Partial adjacency is checked on the y axis when the rectangles share a vertical edge, and on
+     * the x axis otherwise.
+     *
+     * @param xFeatures feature bits of the x axis
+     * @param yFeatures feature bits of the y axis
+     * @return the {@code RectangleRelation} for the combination of features
+     */
+    private static RectangleRelation relation(int xFeatures, int yFeatures) {
+        boolean xTouching = (xFeatures & TOUCHING) != 0;
+        boolean yTouching = (yFeatures & TOUCHING) != 0;
+        boolean adjacent = xTouching || yTouching;
+
+        boolean proper = (yFeatures & ALIGNED) != 0 || (xFeatures & ALIGNED) != 0;
+        boolean partial = xTouching ? (yFeatures & OVERLAPPING) != 0 : yTouching && (xFeatures & OVERLAPPING) != 0;
+        boolean subline = (yFeatures & SPANNING) != 0 || (xFeatures & SPANNING) != 0;
+
+        AdjacencyType adjacencyType = null;
+        if (adjacent) {
+            if (proper) {
+                adjacencyType = AdjacencyType.PROPER;
+            } else if (partial) {
+                adjacencyType = AdjacencyType.PARTIAL;
+            } else if (subline) {
+                adjacencyType = AdjacencyType.SUBLINE;
+            }
+        }
+
+        boolean contained = (xFeatures & SPANNING) != 0 && (yFeatures & SPANNING) != 0;
+        boolean intersected = (xFeatures & SEPARATED) == 0 && (yFeatures & SEPARATED) == 0;
+
+        return new RectangleRelation(adjacent, adjacencyType, contained, intersected);
+    }
+
+}
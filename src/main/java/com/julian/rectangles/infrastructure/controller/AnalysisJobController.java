@@ -0,0 +1,118 @@
+package com.julian.rectangles.infrastructure.controller;
+
+import com.julian.rectangles.application.AnalysisJob;
+import com.julian.rectangles.application.AnalysisJobService;
+import com.julian.rectangles.domain.dto.AnalysisJobRequest;
+import com.julian.rectangles.infrastructure.response.JobProgressResponse;
+import com.julian.rectangles.infrastructure.response.JobResultPageResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Validated
+@RestController
+@RequestMapping(value = "/api/rectangle/jobs")
+public class AnalysisJobController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final AnalysisJobService analysisJobService;
+
+    public AnalysisJobController(AnalysisJobService analysisJobService) {
+        this.analysisJobService = analysisJobService;
+    }
+
+    @Operation(summary = "Submit an asynchronous analysis of rectangle pairs or of every pair in a set of rectangles")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JobProgressResponse.class)) }),
+            @ApiResponse(responseCode = "422", description = "Invalid job input or too many items",
+                    content = @Content),
+            @ApiResponse(responseCode = "503", description = "Job queue is full",
+                    content = @Content)
+    })
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public JobProgressResponse submitJob(@Parameter(description = "Rectangle pairs and/or set of rectangles.")
+            @Valid @RequestBody AnalysisJobRequest request) {
+        AnalysisJob job = this.analysisJobService.submitJob(request);
+        return this.analysisJobService.getJobProgress(job);
+    }
+
+    @Operation(summary = "Get the progress of a job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JobProgressResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content)
+    })
+    @GetMapping("/{jobId}")
+    public JobProgressResponse getJobProgress(@PathVariable String jobId) {
+        return this.analysisJobService.getJobProgress(jobId);
+    }
+
+    @Operation(summary = "Cancel a queued or running job, or discard a finished job and its results")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JobProgressResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content)
+    })
+    @DeleteMapping("/{jobId}")
+    public JobProgressResponse cancelJob(@PathVariable String jobId) {
+        return this.analysisJobService.cancelJob(jobId);
+    }
+
+    @Operation(summary = "Get a page of results of a completed job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = JobResultPageResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Job not completed",
+                    content = @Content)
+    })
+    @GetMapping("/{jobId}/results")
+    public JobResultPageResponse getResultPage(@PathVariable String jobId,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(10000) int size) {
+        return this.analysisJobService.getResultPage(jobId, page, size);
+    }
+
+    @Operation(summary = "Stream all results of a completed job as newline delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response",
+                    content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Job not completed",
+                    content = @Content)
+    })
+    @GetMapping("/{jobId}/results/stream")
+    public ResponseEntity<StreamingResponseBody> streamResults(@PathVariable String jobId) {
+        Path resultFile = this.analysisJobService.getResultFile(jobId);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(outputStream -> Files.copy(resultFile, outputStream));
+    }
+
+}
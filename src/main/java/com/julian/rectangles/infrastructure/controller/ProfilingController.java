@@ -0,0 +1,89 @@
+package com.julian.rectangles.infrastructure.controller;
+
+import com.julian.rectangles.infrastructure.profiling.AdminAccessDeniedException;
+import com.julian.rectangles.infrastructure.profiling.FlightRecorderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+@Validated
+@RestController
+@RequestMapping(value = "/api/admin/profiling")
+@Conditional(ProfilingControllerCondition.class)
+public class ProfilingController {
+
+    private static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+    private static final String ADMIN_TOKEN_REQUIRED = "rectangles.jfr.admin-token must not be blank.";
+    private static final String INVALID_ADMIN_TOKEN = "Missing or invalid admin token.";
+
+    private final FlightRecorderService flightRecorderService;
+    private final byte[] adminToken;
+
+    public ProfilingController(FlightRecorderService flightRecorderService,
+                               @Value("${rectangles.jfr.admin-token}") String adminToken) {
+        if (adminToken.isBlank()) {
+            throw new IllegalStateException(ADMIN_TOKEN_REQUIRED);
+        }
+        this.flightRecorderService = flightRecorderService;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Operation(summary = "Download the last minutes of the always-on flight recording as a JFR file")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful response",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid admin token",
+                    content = @Content),
+            @ApiResponse(responseCode = "422", description = "Invalid number of minutes",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Recording could not be dumped",
+                    content = @Content)
+    })
+    @PostMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording(
+            @Parameter(description = "Admin token configured in rectangles.jfr.admin-token.")
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+            @Parameter(description = "Minutes back from now to include in the dump.")
+            @RequestParam(defaultValue = "5") @Min(1) @Max(60) int minutes) {
+        validateAdminToken(token);
+
+        Path dumpFile = this.flightRecorderService.dumpLastMinutes(minutes);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(dumpFile.getFileName().toString()).build().toString())
+                .body(outputStream -> {
+                    try {
+                        Files.copy(dumpFile, outputStream);
+                    } finally {
+                        Files.deleteIfExists(dumpFile);
+                    }
+                });
+    }
+
+    private void validateAdminToken(String token) {
+        if (token == null || !MessageDigest.isEqual(this.adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException(INVALID_ADMIN_TOKEN);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.julian.rectangles.infrastructure.controller;
+
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Registers the profiling endpoint only when the flight recording is running and an admin token is configured
+ */
+class ProfilingControllerCondition extends AllNestedConditions {
+
+    ProfilingControllerCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnProperty(value = "rectangles.jfr.enabled", havingValue = "true", matchIfMissing = true)
+    static class RecordingEnabled {
+    }
+
+    @ConditionalOnProperty(value = "rectangles.jfr.admin-token")
+    static class AdminTokenConfigured {
+    }
+
+}
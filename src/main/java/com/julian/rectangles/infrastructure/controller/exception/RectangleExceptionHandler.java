@@ -1,6 +1,16 @@
 package com.julian.rectangles.infrastructure.controller.exception;
 
 import com.julian.rectangles.application.InvalidRectangleException;
+import com.julian.rectangles.application.JobNotCompletedException;
+import com.julian.rectangles.application.JobNotFoundException;
+import com.julian.rectangles.application.JobRejectedException;
+import com.julian.rectangles.application.JobTooLargeException;
+import com.julian.rectangles.infrastructure.profiling.AdminAccessDeniedException;
+import com.julian.rectangles.infrastructure.profiling.RecordingDumpException;
+import com.julian.rectangles.infrastructure.profiling.RequestDecodingAdvice;
+import com.julian.rectangles.infrastructure.profiling.RequestErrorEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -28,9 +38,55 @@ public class RectangleExceptionHandler extends ResponseEntityExceptionHandler {
     private static final String INVALID_RECTANGLE_POINTS = "Invalid order of rectangle points.";
 
     @ExceptionHandler(InvalidRectangleException.class)
-    protected ResponseEntity<Object> handleInvalidRectangleException(InvalidRectangleException exception) {
-        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception, INVALID_RECTANGLE_POINTS);
-        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    protected ResponseEntity<Object> handleInvalidRectangleException(InvalidRectangleException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(INVALID_RECTANGLE_POINTS);
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.UNPROCESSABLE_ENTITY, request);
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    protected ResponseEntity<Object> handleJobNotFoundException(JobNotFoundException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception.getMessage());
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler(JobNotCompletedException.class)
+    protected ResponseEntity<Object> handleJobNotCompletedException(JobNotCompletedException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception.getMessage());
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(JobRejectedException.class)
+    protected ResponseEntity<Object> handleJobRejectedException(JobRejectedException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception.getMessage());
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    @ExceptionHandler(JobTooLargeException.class)
+    protected ResponseEntity<Object> handleJobTooLargeException(JobTooLargeException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception.getMessage());
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.UNPROCESSABLE_ENTITY, request);
+    }
+
+    @ExceptionHandler(AdminAccessDeniedException.class)
+    protected ResponseEntity<Object> handleAdminAccessDeniedException(AdminAccessDeniedException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception.getMessage());
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.UNAUTHORIZED, request);
+    }
+
+    @ExceptionHandler(RecordingDumpException.class)
+    protected ResponseEntity<Object> handleRecordingDumpException(RecordingDumpException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception.getMessage());
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.INTERNAL_SERVER_ERROR, request);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException exception, WebRequest request) {
+        List<String> errors = exception.getConstraintViolations()
+                .stream().map(ConstraintViolation::getMessage).collect(Collectors.toList());
+
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(errors);
+
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.UNPROCESSABLE_ENTITY, request);
     }
 
     @Override
@@ -39,20 +95,43 @@ public class RectangleExceptionHandler extends ResponseEntityExceptionHandler {
         List<String> errors = exception.getBindingResult().getFieldErrors()
                 .stream().map(FieldError::getDefaultMessage).collect(Collectors.toList());
 
-        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception, errors);
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(errors);
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+        return handleExceptionInternal(exception, errorResponse, headers, HttpStatus.UNPROCESSABLE_ENTITY, request);
     }
 
     @ExceptionHandler(NumberFormatException.class)
-    public ResponseEntity<Object> handleNumberFormatException(NumberFormatException exception) {
-        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(exception, DATA_MUST_BE_NUMERIC);
-        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    public ResponseEntity<Object> handleNumberFormatException(NumberFormatException exception, WebRequest request) {
+        Map<String, Object> errorResponse = RectangleExceptionHandler.mapExceptionToResponse(DATA_MUST_BE_NUMERIC);
+        return handleExceptionInternal(exception, errorResponse, new HttpHeaders(), HttpStatus.UNPROCESSABLE_ENTITY, request);
     }
 
-    private static Map<String, Object> mapExceptionToResponse(Exception exception, Object error) {
-        LOGGER.error(exception.getMessage(), exception);
+    /**
+     * Every error response, including the ones of exceptions handled by the framework such as unreadable request
+     * bodies, goes through here. Records a {@code RequestErrorEvent} around the handling and closes the decoding
+     * event of the request as failed if the body could not be decoded. Client errors are logged as warnings without
+     * their stack trace, since they are caused by the request rather than by the server.
+     */
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception exception, Object body, HttpHeaders headers,
+                                                             HttpStatusCode statusCode, WebRequest request) {
+        RequestDecodingAdvice.commitDecodingEvent(request, true);
+
+        RequestErrorEvent event = new RequestErrorEvent(exception, statusCode.value());
+        event.begin();
+
+        if (statusCode.is4xxClientError()) {
+            LOGGER.warn("{} {}: {}", statusCode.value(), exception.getClass().getSimpleName(), exception.getMessage());
+        } else {
+            LOGGER.error(exception.getMessage(), exception);
+        }
+        ResponseEntity<Object> response = super.handleExceptionInternal(exception, body, headers, statusCode, request);
+
+        event.commit();
+        return response;
+    }
 
+    private static Map<String, Object> mapExceptionToResponse(Object error) {
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("error", error);
@@ -0,0 +1,9 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+public class AdminAccessDeniedException extends RuntimeException {
+
+    public AdminAccessDeniedException(String errorMessage) {
+        super(errorMessage);
+    }
+
+}
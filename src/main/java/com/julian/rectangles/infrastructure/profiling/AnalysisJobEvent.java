@@ -0,0 +1,49 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+import com.julian.rectangles.domain.model.JobStatus;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.julian.rectangles.AnalysisJob")
+@Label("Analysis Job")
+@Category("Rectangles")
+@Description("Run of an analysis job on a worker, from its start until it completes, fails or is cancelled")
+@StackTrace(false)
+public class AnalysisJobEvent extends jdk.jfr.Event {
+
+    @Label("Job Id")
+    private String jobId;
+
+    @Label("Total Items")
+    private long totalItems;
+
+    @Label("Processed Items")
+    private long processedItems;
+
+    @Label("Status")
+    private String status;
+
+    public AnalysisJobEvent(String jobId, long totalItems) {
+        this.jobId = jobId;
+        this.totalItems = totalItems;
+    }
+
+    /**
+     * Ends the event and commits it with the outcome of the job if the event is enabled
+     *
+     * @param status the final status of the job
+     * @param processedItems how many items the job processed
+     */
+    public void commit(JobStatus status, long processedItems) {
+        end();
+        if (shouldCommit()) {
+            this.status = status.name();
+            this.processedItems = processedItems;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps an always-on flight recording, unless {@code rectangles.jfr.enabled} is {@code false}, with the settings of
+ * {@code rectangles.jfr.settings}, either a built-in configuration such as {@code default} or the path of a custom
+ * {@code .jfc} file. Events exposing the environment, system properties and JVM arguments are always turned off. The recording is kept in a rolling on-disk buffer
+ * bounded by {@code rectangles.jfr.max-age} and {@code rectangles.jfr.max-size}. Every synchronous rectangle
+ * result is recorded, while analysis jobs record one event per job rather than one per pair.
+ */
+@Service
+@ConditionalOnProperty(value = "rectangles.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorderService.class);
+    private static final String RECORDING_NAME = "rectangles";
+    private static final String JFR_DUMP_OPERATION = "jfrDump";
+    private static final String DIAGNOSTIC_COMMAND_MBEAN = "com.sun.management:type=DiagnosticCommand";
+    private static final String JFC_EXTENSION = ".jfc";
+    private static final String DUMP_FAILED = "Could not dump flight recording %s.";
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final Recording recording;
+    private final Path dumpDirectory;
+
+    public FlightRecorderService(@Value("${rectangles.jfr.max-age}") Duration maxAge,
+                                 @Value("${rectangles.jfr.max-size}") DataSize maxSize,
+                                 @Value("${rectangles.jfr.dump-dir}") String dumpDirectory,
+                                 @Value("${rectangles.jfr.settings}") String settings)
+            throws IOException, ParseException {
+        this.dumpDirectory = Files.createDirectories(Path.of(dumpDirectory));
+
+        this.recording = new Recording(buildSettings(settings));
+        this.recording.setName(RECORDING_NAME);
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(maxAge);
+        this.recording.setMaxSize(maxSize.toBytes());
+        this.recording.enable(RectangleResultEvent.class);
+        this.recording.enable(AnalysisJobEvent.class);
+        this.recording.enable(RequestDecodingEvent.class);
+        this.recording.enable(RequestErrorEvent.class);
+        this.recording.start();
+
+        LOGGER.info("Started flight recording '{}' keeping the last {} up to {}", RECORDING_NAME, maxAge, maxSize);
+    }
+
+    /**
+     * Dumps the last minutes of the always-on recording into a new file
+     *
+     * @param minutes how many minutes back from now to dump
+     * @return the {@code Path} of the dumped JFR file
+     * @throws RecordingDumpException if the recording could not be dumped
+     */
+    public Path dumpLastMinutes(int minutes) {
+        Path dumpFile = this.dumpDirectory.resolve("rectangles-" + UUID.randomUUID() + ".jfr");
+        // The diagnostic command joins its arguments with spaces before parsing them, so the path has to be quoted
+        String[] arguments = {
+                "name=" + RECORDING_NAME,
+                "filename=\"" + dumpFile.toAbsolutePath() + "\"",
+                "maxage=" + minutes + "m"
+        };
+
+        try {
+            Object output = ManagementFactory.getPlatformMBeanServer().invoke(new ObjectName(DIAGNOSTIC_COMMAND_MBEAN),
+                    JFR_DUMP_OPERATION, new Object[] { arguments }, new String[] { String[].class.getName() });
+            LOGGER.info("Dumped last {} minutes of flight recording: {}", minutes, output);
+        } catch (JMException exception) {
+            throw new RecordingDumpException(String.format(DUMP_FAILED, RECORDING_NAME), exception);
+        }
+
+        if (!Files.exists(dumpFile)) {
+            throw new RecordingDumpException(String.format(DUMP_FAILED, RECORDING_NAME), null);
+        }
+
+        return dumpFile;
+    }
+
+    /**
+     * Loads the recording settings and turns off the events that would expose secrets to anyone reading a dump
+     *
+     * @param settings name of a built-in configuration or path of a {@code .jfc} file
+     * @return the settings of the recording
+     */
+    private static Map<String, String> buildSettings(String settings) throws IOException, ParseException {
+        Configuration configuration = settings.endsWith(JFC_EXTENSION)
+                ? Configuration.create(Path.of(settings)) : Configuration.getConfiguration(settings);
+
+        Map<String, String> recordingSettings = new HashMap<>(configuration.getSettings());
+        for (String sensitiveEvent : SENSITIVE_EVENTS) {
+            recordingSettings.put(sensitiveEvent + "#enabled", "false");
+        }
+        return recordingSettings;
+    }
+
+    @PreDestroy
+    void close() {
+        this.recording.close();
+    }
+
+}
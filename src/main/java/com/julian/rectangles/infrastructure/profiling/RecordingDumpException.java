@@ -0,0 +1,9 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+public class RecordingDumpException extends RuntimeException {
+
+    public RecordingDumpException(String errorMessage, Throwable cause) {
+        super(errorMessage, cause);
+    }
+
+}
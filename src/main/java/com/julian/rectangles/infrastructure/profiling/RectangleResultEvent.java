@@ -0,0 +1,46 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+import com.julian.rectangles.infrastructure.response.RectangleResponse;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.julian.rectangles.RectangleResult")
+@Label("Rectangle Result")
+@Category("Rectangles")
+@Description("Calculation of adjacency, containment and intersection between two rectangles")
+@StackTrace(false)
+public class RectangleResultEvent extends jdk.jfr.Event {
+
+    @Label("Adjacent")
+    private boolean adjacent;
+
+    @Label("Adjacency Type")
+    private String adjacencyType;
+
+    @Label("Contained")
+    private boolean contained;
+
+    @Label("Intersected")
+    private boolean intersected;
+
+    /**
+     * Ends the event and commits it with the relation outcome if the event is enabled
+     *
+     * @param rectangleResponse the calculated relations between the two rectangles
+     */
+    public void commit(RectangleResponse rectangleResponse) {
+        end();
+        if (shouldCommit()) {
+            this.adjacent = rectangleResponse.isAdjacent();
+            this.adjacencyType = rectangleResponse.getAdjacencyType() != null
+                    ? rectangleResponse.getAdjacencyType().name() : null;
+            this.contained = rectangleResponse.isContained();
+            this.intersected = rectangleResponse.isIntersected();
+            commit();
+        }
+    }
+
+}
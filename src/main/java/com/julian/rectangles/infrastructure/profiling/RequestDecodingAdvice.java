@@ -0,0 +1,70 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Records a {@code RequestDecodingEvent} around the deserialization of every request body. The event is kept as a
+ * request attribute between the start and the end of the decoding. A body that fails to decode never reaches
+ * {@code afterBodyRead}, so its event is committed as failed by the exception handler instead.
+ */
+@ControllerAdvice
+public class RequestDecodingAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String DECODING_EVENT_ATTRIBUTE = RequestDecodingAdvice.class.getName() + ".EVENT";
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestDecodingEvent event = new RequestDecodingEvent(targetType.getTypeName());
+        if (event.isEnabled()) {
+            event.begin();
+            RequestContextHolder.currentRequestAttributes()
+                    .setAttribute(DECODING_EVENT_ATTRIBUTE, event, RequestAttributes.SCOPE_REQUEST);
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        commitDecodingEvent(RequestContextHolder.currentRequestAttributes(), false);
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        commitDecodingEvent(RequestContextHolder.currentRequestAttributes(), false);
+        return body;
+    }
+
+    /**
+     * Commits the decoding event of the request, if its decoding started and was not committed yet
+     *
+     * @param requestAttributes attributes of the current request
+     * @param failed whether the body could not be decoded
+     */
+    public static void commitDecodingEvent(RequestAttributes requestAttributes, boolean failed) {
+        Object event = requestAttributes.getAttribute(DECODING_EVENT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (event instanceof RequestDecodingEvent decodingEvent) {
+            requestAttributes.removeAttribute(DECODING_EVENT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            decodingEvent.setFailed(failed);
+            decodingEvent.commit();
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.julian.rectangles.RequestDecoding")
+@Label("Request Decoding")
+@Category("Rectangles")
+@Description("Deserialization of a request body into its target type")
+@StackTrace(false)
+public class RequestDecodingEvent extends jdk.jfr.Event {
+
+    @Label("Target Type")
+    private String targetType;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public RequestDecodingEvent(String targetType) {
+        this.targetType = targetType;
+    }
+
+    void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.julian.rectangles.RequestError")
+@Label("Request Error")
+@Category("Rectangles")
+@Description("Handling of an exception raised while serving a request")
+@StackTrace(false)
+public class RequestErrorEvent extends jdk.jfr.Event {
+
+    @Label("Exception Type")
+    private String exceptionType;
+
+    @Label("Status")
+    private int status;
+
+    public RequestErrorEvent(Exception exception, int status) {
+        this.exceptionType = exception.getClass().getName();
+        this.status = status;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.julian.rectangles.infrastructure.response;
+
+import com.julian.rectangles.domain.model.JobStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class JobProgressResponse {
+
+    private String jobId;
+    private JobStatus status;
+    private long totalItems;
+    private long processedItems;
+    private double throughputPerSecond;
+    private Long etaSeconds;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+
+}
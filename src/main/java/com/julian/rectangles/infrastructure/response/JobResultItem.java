@@ -0,0 +1,35 @@
+package com.julian.rectangles.infrastructure.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.julian.rectangles.domain.dto.Coordinates;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobResultItem {
+
+    /**
+     * Zero based position of the item in the job
+     */
+    private long index;
+
+    /**
+     * The analyzed pair, for items coming from explicit pairs
+     */
+    private Coordinates pair;
+
+    /**
+     * Index of the first rectangle in the rectangle set, for items coming from the set
+     */
+    private Integer first;
+
+    /**
+     * Index of the second rectangle in the rectangle set, for items coming from the set
+     */
+    private Integer second;
+
+    private RectangleResponse result;
+
+}
@@ -0,0 +1,19 @@
+package com.julian.rectangles.infrastructure.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class JobResultPageResponse {
+
+    private String jobId;
+    private int page;
+    private int size;
+    private long totalItems;
+    private List<JsonNode> items;
+
+}
@@ -0,0 +1,413 @@
+package com.julian.rectangles.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.julian.rectangles.domain.dto.AnalysisJobRequest;
+import com.julian.rectangles.domain.dto.Coordinates;
+import com.julian.rectangles.domain.dto.RectangleCoordinates;
+import com.julian.rectangles.domain.model.JobStatus;
+import com.julian.rectangles.infrastructure.profiling.AnalysisJobEvent;
+import com.julian.rectangles.infrastructure.profiling.RectangleResultEvent;
+import com.julian.rectangles.infrastructure.response.JobProgressResponse;
+import com.julian.rectangles.infrastructure.response.JobResultPageResponse;
+import com.julian.rectangles.infrastructure.response.RectangleResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisJobServiceTest {
+
+    private static final long MAX_ITEMS = 5_000_000;
+
+    @TempDir
+    Path resultsDirectory;
+
+    private AnalysisJobService analysisJobService;
+
+    @BeforeEach
+    void setup() throws IOException {
+        analysisJobService = buildService(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        analysisJobService.shutdown();
+    }
+
+    @Test
+    void testPairsJobCompletesWithPagedResults() throws InterruptedException {
+        // Arrange
+        AnalysisJobRequest request = new AnalysisJobRequest(List.of(
+                new Coordinates("-1", "2", "0", "2", "-3", "1", "-1", "1"),
+                new Coordinates("0", "4", "7", "10", "-3", "0", "7", "10"),
+                new Coordinates("3", "10", "-8", "-4", "4", "9", "-7", "-5")), null);
+
+        // Act
+        AnalysisJob job = analysisJobService.submitJob(request);
+        JobProgressResponse progress = awaitFinished(job.getId());
+        JobResultPageResponse firstPage = analysisJobService.getResultPage(job.getId(), 0, 2);
+        JobResultPageResponse secondPage = analysisJobService.getResultPage(job.getId(), 1, 2);
+
+        // Assert
+        assertEquals(JobStatus.COMPLETED, progress.getStatus());
+        assertEquals(3, progress.getTotalItems());
+        assertEquals(3, progress.getProcessedItems());
+        assertNull(progress.getEtaSeconds());
+        assertEquals(2, firstPage.getItems().size());
+        assertEquals(1, secondPage.getItems().size());
+
+        JsonNode intersection = firstPage.getItems().get(0);
+        assertEquals(0, intersection.get("index").asLong());
+        assertEquals("-1", intersection.get("pair").get("r1x1").asText());
+        assertFalse(intersection.has("first"));
+        assertTrue(intersection.get("result").get("intersected").asBoolean());
+        JsonNode adjacency = firstPage.getItems().get(1);
+        assertEquals(1, adjacency.get("index").asLong());
+        assertEquals("0", adjacency.get("pair").get("r1x1").asText());
+        assertEquals("PROPER", adjacency.get("result").get("adjacencyType").asText());
+        JsonNode containment = secondPage.getItems().get(0);
+        assertEquals(2, containment.get("index").asLong());
+        assertEquals("3", containment.get("pair").get("r1x1").asText());
+        assertTrue(containment.get("result").get("contained").asBoolean());
+    }
+
+    @Test
+    void testRectangleSetJobAnalyzesEveryPair() throws InterruptedException {
+        // Arrange
+        AnalysisJobRequest request = new AnalysisJobRequest(null, List.of(
+                new RectangleCoordinates("0", "4", "7", "10"),
+                new RectangleCoordinates("-3", "0", "7", "10"),
+                new RectangleCoordinates("-13", "-8", "4", "6"),
+                new RectangleCoordinates("6", "11", "2", "6")));
+
+        // Act
+        AnalysisJob job = analysisJobService.submitJob(request);
+        JobProgressResponse progress = awaitFinished(job.getId());
+
+        // Assert
+        assertEquals(JobStatus.COMPLETED, progress.getStatus());
+        assertEquals(6, progress.getTotalItems());
+        assertEquals(6, progress.getProcessedItems());
+        List<JsonNode> items = analysisJobService.getResultPage(job.getId(), 0, 100).getItems();
+        assertEquals(6, items.size());
+
+        int[][] expectedPairs = { { 0, 1 }, { 0, 2 }, { 0, 3 }, { 1, 2 }, { 1, 3 }, { 2, 3 } };
+        for (int i = 0; i < expectedPairs.length; i++) {
+            assertEquals(i, items.get(i).get("index").asLong());
+            assertEquals(expectedPairs[i][0], items.get(i).get("first").asInt());
+            assertEquals(expectedPairs[i][1], items.get(i).get("second").asInt());
+            assertFalse(items.get(i).has("pair"));
+        }
+        assertEquals("PROPER", items.get(0).get("result").get("adjacencyType").asText());
+    }
+
+    @Test
+    void testResultPagesAcrossLineOffsets() throws InterruptedException {
+        // Arrange
+        // Sixty rectangles are 1770 pairs, so pages start before, on and after the recorded line offsets
+        List<RectangleCoordinates> rectangles = IntStream.range(0, 60)
+                .mapToObj(i -> new RectangleCoordinates(String.valueOf(i), String.valueOf(i + 2), "0", "1"))
+                .toList();
+        AnalysisJob job = analysisJobService.submitJob(new AnalysisJobRequest(null, rectangles));
+        awaitFinished(job.getId());
+
+        // Act
+        List<JsonNode> crossingPage = analysisJobService.getResultPage(job.getId(), 146, 7).getItems();
+        List<JsonNode> lastPage = analysisJobService.getResultPage(job.getId(), 3, 500).getItems();
+        List<JsonNode> pastLastPage = analysisJobService.getResultPage(job.getId(), 4, 500).getItems();
+
+        // Assert
+        assertEquals(7, crossingPage.size());
+        for (int i = 0; i < crossingPage.size(); i++) {
+            assertEquals(1022 + i, crossingPage.get(i).get("index").asLong());
+        }
+        assertEquals(270, lastPage.size());
+        assertEquals(1500, lastPage.get(0).get("index").asLong());
+        assertEquals(1769, lastPage.get(269).get("index").asLong());
+        assertEquals(58, lastPage.get(269).get("first").asInt());
+        assertEquals(59, lastPage.get(269).get("second").asInt());
+        assertTrue(pastLastPage.isEmpty());
+    }
+
+    @Test
+    void testJobRecordsOneFlightRecorderEvent() throws InterruptedException {
+        // Arrange
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        CountDownLatch jobRecorded = new CountDownLatch(1);
+        AnalysisJobRequest request = new AnalysisJobRequest(null, List.of(
+                new RectangleCoordinates("0", "4", "7", "10"),
+                new RectangleCoordinates("-3", "0", "7", "10"),
+                new RectangleCoordinates("-13", "-8", "4", "6")));
+
+        try (RecordingStream recordingStream = new RecordingStream()) {
+            recordingStream.enable(AnalysisJobEvent.class);
+            recordingStream.enable(RectangleResultEvent.class);
+            recordingStream.onEvent(events::add);
+            recordingStream.onEvent("com.julian.rectangles.AnalysisJob", event -> jobRecorded.countDown());
+            recordingStream.startAsync();
+
+            // Act
+            AnalysisJob job = analysisJobService.submitJob(request);
+
+            // Assert
+            assertTrue(jobRecorded.await(10, TimeUnit.SECONDS));
+            assertEquals(1, events.size());
+            assertEquals("com.julian.rectangles.AnalysisJob", events.get(0).getEventType().getName());
+            assertEquals(job.getId(), events.get(0).getString("jobId"));
+            assertEquals("COMPLETED", events.get(0).getString("status"));
+            assertEquals(3, events.get(0).getLong("totalItems"));
+            assertEquals(3, events.get(0).getLong("processedItems"));
+        }
+    }
+
+    @Test
+    void testInvalidRectangleRejectedOnSubmit() {
+        // Arrange
+        AnalysisJobRequest request = new AnalysisJobRequest(List.of(
+                new Coordinates("-1", "2", "0", "2", "-3", "1", "-1", "1"),
+                new Coordinates("4", "0", "10", "7", "-8", "-13", "6", "4")), null);
+
+        // Act
+        Exception exception = assertThrows(InvalidRectangleException.class,
+                () -> analysisJobService.submitJob(request));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("Invalid rectangle points."));
+    }
+
+    @Test
+    void testNonNumericRectangleRejectedOnSubmit() {
+        // Arrange
+        AnalysisJobRequest request = new AnalysisJobRequest(null, List.of(
+                new RectangleCoordinates("0", "4", "7", "10"),
+                new RectangleCoordinates("asd", "0", "7", "10")));
+
+        // Act & Assert
+        assertThrows(NumberFormatException.class, () -> analysisJobService.submitJob(request));
+    }
+
+    @Test
+    void testDeleteFinishedJobDiscardsResults() throws InterruptedException {
+        // Arrange
+        AnalysisJobRequest request = new AnalysisJobRequest(List.of(
+                new Coordinates("-1", "2", "0", "2", "-3", "1", "-1", "1")), null);
+        AnalysisJob job = analysisJobService.submitJob(request);
+        awaitFinished(job.getId());
+
+        // Act
+        analysisJobService.cancelJob(job.getId());
+
+        // Assert
+        assertFalse(Files.exists(job.getResultFile()));
+        assertThrows(JobNotFoundException.class, () -> analysisJobService.getJobProgress(job.getId()));
+    }
+
+    @Test
+    void testProgressOfDeletedJobAtHand() throws InterruptedException {
+        // Arrange
+        AnalysisJobRequest request = new AnalysisJobRequest(List.of(
+                new Coordinates("-1", "2", "0", "2", "-3", "1", "-1", "1")), null);
+        AnalysisJob job = analysisJobService.submitJob(request);
+        awaitFinished(job.getId());
+        analysisJobService.cancelJob(job.getId());
+
+        // Act
+        JobProgressResponse progress = analysisJobService.getJobProgress(job);
+
+        // Assert
+        assertEquals(job.getId(), progress.getJobId());
+        assertEquals(JobStatus.COMPLETED, progress.getStatus());
+        assertThrows(JobNotFoundException.class, () -> analysisJobService.getJobProgress(job.getId()));
+    }
+
+    @Test
+    void testOversizedJobIsRejectedOnSubmit() {
+        // Arrange
+        // Four thousand rectangles are about eight million pairs, above the limit of this service
+        List<RectangleCoordinates> rectangles = IntStream.range(0, 4000)
+                .mapToObj(i -> new RectangleCoordinates(String.valueOf(i), String.valueOf(i + 2), "0", "1"))
+                .toList();
+        AnalysisJobRequest request = new AnalysisJobRequest(null, rectangles);
+
+        // Act
+        Exception exception = assertThrows(JobTooLargeException.class, () -> analysisJobService.submitJob(request));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("7998000"));
+    }
+
+    @Test
+    void testCancelRunningJob() throws InterruptedException {
+        // Arrange
+        AnalysisJob job = analysisJobService.submitJob(buildLargeRequest());
+        awaitProcessing(job.getId());
+
+        // Act
+        JobProgressResponse cancelled = analysisJobService.cancelJob(job.getId());
+        awaitDeleted(job.getResultFile());
+        long processedItems = analysisJobService.getJobProgress(job.getId()).getProcessedItems();
+        Thread.sleep(100);
+        JobProgressResponse progress = analysisJobService.getJobProgress(job.getId());
+
+        // Assert
+        assertEquals(JobStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(JobStatus.CANCELLED, progress.getStatus());
+        assertEquals(processedItems, progress.getProcessedItems());
+        assertTrue(processedItems < progress.getTotalItems());
+        assertThrows(JobNotCompletedException.class, () -> analysisJobService.getResultPage(job.getId(), 0, 10));
+    }
+
+    @Test
+    void testCancelQueuedJob() throws InterruptedException {
+        // Arrange
+        AnalysisJob runningJob = analysisJobService.submitJob(buildLargeRequest());
+        AnalysisJob queuedJob = analysisJobService.submitJob(buildLargeRequest());
+        awaitProcessing(runningJob.getId());
+
+        // Act
+        JobProgressResponse cancelled = analysisJobService.cancelJob(queuedJob.getId());
+        analysisJobService.cancelJob(runningJob.getId());
+        awaitDeleted(runningJob.getResultFile());
+
+        // Assert
+        assertEquals(JobStatus.CANCELLED, cancelled.getStatus());
+        assertNull(cancelled.getStartedAt());
+        assertEquals(0, analysisJobService.getJobProgress(queuedJob.getId()).getProcessedItems());
+        assertFalse(Files.exists(queuedJob.getResultFile()));
+    }
+
+    @Test
+    void testCancelledQueuedJobsFreeTheQueue() throws InterruptedException {
+        // Arrange
+        AnalysisJob runningJob = analysisJobService.submitJob(buildLargeRequest());
+        awaitProcessing(runningJob.getId());
+        List<AnalysisJob> queuedJobs = IntStream.range(0, 4)
+                .mapToObj(i -> analysisJobService.submitJob(buildLargeRequest()))
+                .toList();
+        assertThrows(JobRejectedException.class, () -> analysisJobService.submitJob(buildLargeRequest()));
+
+        // Act
+        queuedJobs.forEach(queuedJob -> analysisJobService.cancelJob(queuedJob.getId()));
+        AnalysisJob job = analysisJobService.submitJob(buildLargeRequest());
+
+        // Assert
+        assertEquals(JobStatus.QUEUED, analysisJobService.getJobProgress(job.getId()).getStatus());
+    }
+
+    @Test
+    void testJobFailsOnError() throws IOException, InterruptedException {
+        // Arrange
+        analysisJobService.shutdown();
+        RectangleService failingService = new RectangleService() {
+            @Override
+            public RectangleResponse getBulkRectangleResult(Coordinates coordinates) {
+                throw new StackOverflowError();
+            }
+        };
+        analysisJobService = new AnalysisJobService(failingService, new ObjectMapper(), 1, 4,
+                resultsDirectory.toString(), Duration.ofHours(1), MAX_ITEMS);
+
+        // Act
+        AnalysisJob job = analysisJobService.submitJob(buildLargeRequest());
+        JobProgressResponse progress = awaitFinished(job.getId());
+
+        // Assert
+        assertEquals(JobStatus.FAILED, progress.getStatus());
+        assertEquals(StackOverflowError.class.getName(), progress.getError());
+        assertNotNull(progress.getFinishedAt());
+        awaitDeleted(job.getResultFile());
+    }
+
+    @Test
+    void testExpiredJobsAreEvicted() throws IOException, InterruptedException {
+        // Arrange
+        analysisJobService.shutdown();
+        analysisJobService = buildService(Duration.ZERO);
+        AnalysisJobRequest request = new AnalysisJobRequest(List.of(
+                new Coordinates("-1", "2", "0", "2", "-3", "1", "-1", "1")), null);
+        AnalysisJob job = analysisJobService.submitJob(request);
+        awaitFinished(job.getId());
+
+        // Act
+        analysisJobService.evictExpiredJobs();
+
+        // Assert
+        assertFalse(Files.exists(job.getResultFile()));
+        assertThrows(JobNotFoundException.class, () -> analysisJobService.getJobProgress(job.getId()));
+    }
+
+    @Test
+    void testStaleResultFilesAreDeletedOnStartup() throws IOException {
+        // Arrange
+        analysisJobService.shutdown();
+        Path staleFile = Files.writeString(resultsDirectory.resolve("stale.ndjson"), "{}");
+
+        // Act
+        analysisJobService = buildService(Duration.ofHours(1));
+
+        // Assert
+        assertFalse(Files.exists(staleFile));
+    }
+
+    @Test
+    void testUnknownJobNotFound() {
+        assertThrows(JobNotFoundException.class, () -> analysisJobService.getJobProgress("unknown"));
+    }
+
+    private AnalysisJobService buildService(Duration retention) throws IOException {
+        return new AnalysisJobService(new RectangleService(), new ObjectMapper(), 1, 4,
+                resultsDirectory.toString(), retention, MAX_ITEMS);
+    }
+
+    private static AnalysisJobRequest buildLargeRequest() {
+        // Two thousand rectangles are about two million pairs, enough to keep the job running while it is cancelled
+        List<RectangleCoordinates> rectangles = IntStream.range(0, 2000)
+                .mapToObj(i -> new RectangleCoordinates(String.valueOf(i), String.valueOf(i + 2), "0", "1"))
+                .toList();
+        return new AnalysisJobRequest(null, rectangles);
+    }
+
+    private void awaitProcessing(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (analysisJobService.getJobProgress(jobId).getProcessedItems() > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Job " + jobId + " did not start in time");
+    }
+
+    private void awaitDeleted(Path resultFile) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && Files.exists(resultFile); attempt++) {
+            Thread.sleep(50);
+        }
+        assertFalse(Files.exists(resultFile));
+    }
+
+    private JobProgressResponse awaitFinished(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JobProgressResponse progress = analysisJobService.getJobProgress(jobId);
+            if (progress.getStatus().isFinished()) {
+                return progress;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Job " + jobId + " did not finish in time");
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.julian.rectangles.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RelationClassifierTest {
+
+    private static final float[] GRID = { 0, 1, 2, 3, 4 };
+    private static final float[] GRID_WITH_NAN = { 0, 1, 2, Float.NaN };
+    private static final int RANDOM_PAIRS = 200_000;
+
+    @Test
+    void testClassifierMatchesRelationMethodsExhaustively() {
+        // Five values are enough to produce every ordering, ties included, of the four coordinates of an axis
+        for (float ax1 : GRID) for (float ax2 : GRID) for (float ay1 : GRID) for (float ay2 : GRID) {
+            Rectangle rectangle = buildRectangle(ax1, ax2, ay1, ay2);
+            for (float bx1 : GRID) for (float bx2 : GRID) for (float by1 : GRID) for (float by2 : GRID) {
+                assertSameRelation(rectangle, buildRectangle(bx1, bx2, by1, by2));
+            }
+        }
+    }
+
+    @Test
+    void testClassifierMatchesRelationMethodsWithNaN() {
+        // NaN in every position, compared with ties and strict orderings of the other coordinates
+        for (float ax1 : GRID_WITH_NAN) for (float ax2 : GRID_WITH_NAN) for (float ay1 : GRID_WITH_NAN) for (float ay2 : GRID_WITH_NAN) {
+            Rectangle rectangle = buildRectangle(ax1, ax2, ay1, ay2);
+            for (float bx1 : GRID_WITH_NAN) for (float bx2 : GRID_WITH_NAN) for (float by1 : GRID_WITH_NAN) for (float by2 : GRID_WITH_NAN) {
+                assertSameRelation(rectangle, buildRectangle(bx1, bx2, by1, by2));
+            }
+        }
+    }
+
+    @Test
+    void testClassifierMatchesRelationMethodsOnRandomRectangles() {
+        Random random = new Random(42);
+        float[] pool = new float[16];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = (random.nextFloat() - 0.5f) * 200;
+        }
+        pool[0] = Float.NaN;
+        pool[1] = Float.POSITIVE_INFINITY;
+        pool[2] = Float.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < RANDOM_PAIRS; i++) {
+            Rectangle rectangle = randomRectangle(random, pool);
+            Rectangle anotherRectangle = randomRectangle(random, pool);
+
+            assertSameRelation(rectangle, anotherRectangle);
+            assertSameRelation(anotherRectangle, rectangle);
+        }
+    }
+
+    private static void assertSameRelation(Rectangle rectangle, Rectangle anotherRectangle) {
+        RectangleRelation relation = rectangle.getRelationWith(anotherRectangle);
+
+        boolean adjacent = rectangle.isAdjacentTo(anotherRectangle);
+        AdjacencyType adjacencyType = null;
+        if (adjacent) {
+            if (rectangle.hasProperAdjacencyWith(anotherRectangle)) {
+                adjacencyType = AdjacencyType.PROPER;
+            } else if (rectangle.hasPartialAdjacencyWith(anotherRectangle)) {
+                adjacencyType = AdjacencyType.PARTIAL;
+            } else if (rectangle.hasSublineAdjacencyWith(anotherRectangle)) {
+                adjacencyType = AdjacencyType.SUBLINE;
+            }
+        }
+
+        Supplier<String> pair = () -> rectangle + " and " + anotherRectangle;
+        assertEquals(adjacent, relation.isAdjacent(), pair);
+        assertEquals(adjacencyType, relation.getAdjacencyType(), pair);
+        assertEquals(rectangle.containsRectangle(anotherRectangle), relation.isContained(), pair);
+        assertEquals(rectangle.getIntersection(anotherRectangle).isPresent(), relation.isIntersected(), pair);
+    }
+
+    private static Rectangle randomRectangle(Random random, float[] pool) {
+        // Mix pooled values, which produce shared edges, with fresh ones
+        float x1 = random.nextBoolean() ? pool[random.nextInt(pool.length)] : (random.nextFloat() - 0.5f) * 200;
+        float y1 = random.nextBoolean() ? pool[random.nextInt(pool.length)] : (random.nextFloat() - 0.5f) * 200;
+        float x2 = random.nextBoolean() ? pool[random.nextInt(pool.length)] : (random.nextFloat() - 0.5f) * 200;
+        float y2 = random.nextBoolean() ? pool[random.nextInt(pool.length)] : (random.nextFloat() - 0.5f) * 200;
+
+        return buildRectangle(Math.min(x1, x2), Math.max(x1, x2), Math.min(y1, y2), Math.max(y1, y2));
+    }
+
+    private static Rectangle buildRectangle(float x1, float x2, float y1, float y2) {
+        Point bottomLeft = new Point(x1, y1);
+        Point upperRight = new Point(x2, y2);
+
+        return new Rectangle(bottomLeft, upperRight);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.julian.rectangles.infrastructure.profiling;
+
+import com.julian.rectangles.application.RectangleService;
+import com.julian.rectangles.domain.dto.Coordinates;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderServiceTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path dumpDirectory;
+
+    private FlightRecorderService flightRecorderService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dumpDirectory = temporaryDirectory.resolve("dumps with spaces");
+        flightRecorderService = new FlightRecorderService(Duration.ofMinutes(10), DataSize.ofMegabytes(10),
+                dumpDirectory.toString(), "default");
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecorderService.close();
+    }
+
+    @Test
+    void testDumpContainsRectangleResultEvent() throws Exception {
+        // Arrange
+        new RectangleService().getRectangleResult(new Coordinates("0", "4", "7", "10", "-3", "0", "7", "10"));
+
+        // Act
+        Path dumpFile = flightRecorderService.dumpLastMinutes(5);
+
+        // Assert
+        assertTrue(Files.exists(dumpFile));
+
+        List<RecordedEvent> resultEvents = RecordingFile.readAllEvents(dumpFile).stream()
+                .filter(event -> event.getEventType().getName().equals("com.julian.rectangles.RectangleResult"))
+                .toList();
+
+        assertEquals(1, resultEvents.size());
+        assertTrue(resultEvents.get(0).getBoolean("adjacent"));
+        assertEquals("PROPER", resultEvents.get(0).getString("adjacencyType"));
+        assertFalse(resultEvents.get(0).getBoolean("intersected"));
+        assertNull(resultEvents.get(0).getStackTrace());
+    }
+
+    @Test
+    void testBulkRectangleResultsAreNotRecorded() throws Exception {
+        // Arrange
+        new RectangleService().getBulkRectangleResult(new Coordinates("0", "4", "7", "10", "-3", "0", "7", "10"));
+
+        // Act
+        Path dumpFile = flightRecorderService.dumpLastMinutes(5);
+
+        // Assert
+        assertTrue(RecordingFile.readAllEvents(dumpFile).stream()
+                .noneMatch(event -> event.getEventType().getName().equals("com.julian.rectangles.RectangleResult")));
+    }
+
+    @Test
+    void testDumpLeavesOutSensitiveEvents() throws Exception {
+        // Act
+        Path dumpFile = flightRecorderService.dumpLastMinutes(5);
+
+        // Assert
+        List<String> eventNames = RecordingFile.readAllEvents(dumpFile).stream()
+                .map(event -> event.getEventType().getName()).distinct().toList();
+
+        assertFalse(eventNames.contains("jdk.InitialEnvironmentVariable"));
+        assertFalse(eventNames.contains("jdk.InitialSystemProperty"));
+        assertFalse(eventNames.contains("jdk.JVMInformation"));
+        assertTrue(eventNames.contains("jdk.ActiveRecording"));
+    }
+
+}